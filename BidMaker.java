@@ -9,16 +9,20 @@ import java.util.Date;
 
 /** Client GUI + logic combined in one file: BidMaker.java */
 public class BidMaker extends JFrame {
-    private JTextField nameField, bidField;
+    private JTextField nameField, bidField, qtyField;
     private JButton joinButton, bidButton, confirmButton;
     private JTextArea logArea;
     private JLabel itemLabel, highestBidLabel, highestBidderLabel, timerLabel, startInfoLabel;
+    private JComboBox<String> lotBox;   // which lot "Place Bid" goes to: the floor or an open sealed lot
+    private boolean floorOpen = false;
 
     private BidMakerLogic logic; // backend
 
+    private static final String FLOOR_ENTRY = "Open auction";
+
     public BidMaker() {
         setTitle("Auction Bidder - Client");
-        setSize(620, 540);
+        setSize(620, 570);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLayout(new BorderLayout());
 
@@ -37,13 +41,18 @@ public class BidMaker extends JFrame {
         add(new JScrollPane(logArea), BorderLayout.CENTER);
 
         // --- Bottom: status + bid controls
-        JPanel bottom = new JPanel(new GridLayout(5, 2, 8, 8));
+        JPanel bottom = new JPanel(new GridLayout(6, 2, 8, 8));
         itemLabel = new JLabel("Item: (waiting)");
         startInfoLabel = new JLabel("Start: -, Min step: -");
         highestBidLabel = new JLabel("Highest Bid: $0.00");
         highestBidderLabel = new JLabel("Highest Bidder: None");
         timerLabel = new JLabel("Time left: -- s");
         bidField = new JTextField();
+        qtyField = new JTextField("1", 4);   // only used by uniform-price sealed lots
+        JPanel qtyPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+        qtyPanel.add(new JLabel("Qty:"));
+        qtyPanel.add(qtyField);
+        lotBox = new JComboBox<>(new String[]{FLOOR_ENTRY});
         bidButton = new JButton("Place Bid");
         confirmButton = new JButton("Confirm Final Bid");
         bidButton.setEnabled(false);          // disabled before join/auction
@@ -54,7 +63,9 @@ public class BidMaker extends JFrame {
         bottom.add(highestBidLabel);
         bottom.add(highestBidderLabel);
         bottom.add(timerLabel);
-        bottom.add(new JLabel("")); // spacer
+        bottom.add(qtyPanel);
+        bottom.add(new JLabel("Bid on:"));
+        bottom.add(lotBox);
         bottom.add(new JLabel("Your Bid:"));
         bottom.add(bidField);
         bottom.add(bidButton);
@@ -77,7 +88,7 @@ public class BidMaker extends JFrame {
         });
 
         bidButton.addActionListener(e -> {
-            logic.placeBid(bidField.getText());
+            logic.placeBid(bidField.getText(), qtyField.getText(), selectedLot());
             bidField.setText("");
         });
 
@@ -104,6 +115,7 @@ public class BidMaker extends JFrame {
                 ", Min step: $" + String.format("%.2f", minIncrement));
         highestBidLabel.setText("Highest Bid: $0.00");
         highestBidderLabel.setText("Highest Bidder: None");
+        floorOpen = true;
         bidButton.setEnabled(true);
         log("Auction started for " + item);
         bidField.requestFocusInWindow();
@@ -127,14 +139,35 @@ public class BidMaker extends JFrame {
         highestBidLabel.setText("Highest Bid: $0.00");
         highestBidderLabel.setText("Highest Bidder: None");
         confirmButton.setEnabled(false);
+        floorOpen = true;
         bidButton.setEnabled(true);
         log("New auction started for " + item);
         bidField.requestFocusInWindow();
     }
 
+    /** Adds an open sealed lot to the "Bid on" list; the floor labels are left alone. */
+    public void onSealedStart(String lotId, String item, String type, double reserve, int units, int seconds) {
+        if (indexOfLot(lotId) < 0) {
+            lotBox.addItem(lotId + ": " + item + " (" + type + ", reserve $" +
+                    String.format("%.2f", reserve) + ", " + units + " unit(s))");
+        }
+        bidButton.setEnabled(true);
+        log("Sealed " + type + " lot " + lotId + " opened for " + item + ", closes in " + seconds + " s");
+    }
+
+    public void onSealedResult(String lotId, boolean won, int units, double price) {
+        removeLot(lotId);
+        if (won) {
+            log("Lot " + lotId + ": you won " + units + " unit(s) at $" + String.format("%.2f", price));
+        } else {
+            log("Lot " + lotId + ": not won (clearing price $" + String.format("%.2f", price) + ")");
+        }
+    }
+
     public void onEnd(String winner, double amount) {
         confirmButton.setEnabled(false);
-        bidButton.setEnabled(false);
+        floorOpen = false;
+        bidButton.setEnabled(lotBox.getItemCount() > 1); // sealed lots may still be open
         log("Auction ended. Winner: " + winner +
                 " ($" + String.format("%.2f", amount) + ")");
     }
@@ -147,6 +180,31 @@ public class BidMaker extends JFrame {
         }
     }
 
+    public void onSealedEnd(String lotId) {
+        removeLot(lotId);
+        log("Sealed lot " + lotId + " closed.");
+    }
+
+    private void removeLot(String lotId) {
+        int idx = indexOfLot(lotId);
+        if (idx >= 0) lotBox.removeItemAt(idx);
+        bidButton.setEnabled(floorOpen || lotBox.getItemCount() > 1);
+    }
+
+    /** Lot id selected in "Bid on", or "" for the open auction. */
+    private String selectedLot() {
+        String entry = (String) lotBox.getSelectedItem();
+        if (entry == null || entry.equals(FLOOR_ENTRY)) return "";
+        return entry.substring(0, entry.indexOf(": "));
+    }
+
+    private int indexOfLot(String lotId) {
+        for (int i = 1; i < lotBox.getItemCount(); i++) {
+            if (lotBox.getItemAt(i).startsWith(lotId + ": ")) return i;
+        }
+        return -1;
+    }
+
     public void onDisconnected() {
         confirmButton.setEnabled(false);
         bidButton.setEnabled(false);
@@ -175,11 +233,15 @@ public class BidMaker extends JFrame {
 class BidMakerLogic {
     private static final String HOST = "localhost";
     private static final int PORT = 5000;
+    private static final long RECONNECT_TIMEOUT_MS = 30000; // give up after this long without a server
+    private static final long RECONNECT_RETRY_MS = 200;
 
-    private Socket socket;
-    private PrintWriter out;
-    private BufferedReader in;
+    // Replaced on reconnect, so volatile for the GUI thread
+    private volatile Socket socket;
+    private volatile PrintWriter out;
+    private volatile BufferedReader in;
     private Thread listenThread;
+    private volatile boolean closing = false;
 
     private String name = "";
     private final BidMaker gui;
@@ -190,6 +252,8 @@ class BidMakerLogic {
     private double startingBid = 0.0;
     private double minIncrement = 0.0;
     private boolean waitingForFinal = false;
+    private volatile String watchedLot = ""; // lot this client is SUBSCRIBEd to
+    private final java.util.Map<String, Double> sealedReserves = new java.util.HashMap<>(); // open sealed lots
 
     public BidMakerLogic(BidMaker gui) {
         this.gui = gui;
@@ -210,10 +274,28 @@ class BidMakerLogic {
         }
     }
 
-    /** Place a bid if numeric and higher than current + min increment. */
-    public void placeBid(String amountText) {
+    /**
+     * Place a bid on the chosen lot ("" = open auction): higher than current + min increment,
+     * or at least the reserve for a sealed lot.
+     */
+    public void placeBid(String amountText, String qtyText, String lotId) {
         try {
             double amount = Double.parseDouble(amountText.trim());
+            if (!lotId.isEmpty()) {
+                Double reserve = sealedReserves.get(lotId);
+                if (reserve == null) {
+                    JOptionPane.showMessageDialog(null, "Lot " + lotId + " is no longer open.");
+                    return;
+                }
+                if (amount < reserve) {
+                    JOptionPane.showMessageDialog(null,
+                            "Your bid must be at least reserve $" + reserve);
+                    return;
+                }
+                int qty = qtyText.trim().isEmpty() ? 1 : Integer.parseInt(qtyText.trim());
+                out.println("SEALED_BID|" + lotId + "|" + amount + "|" + qty);
+                return;
+            }
             if (amount < startingBid) {
                 JOptionPane.showMessageDialog(null,
                         "Your bid must be at least starting bid $" + startingBid);
@@ -244,22 +326,62 @@ class BidMakerLogic {
         }
     }
 
-    /** Listen to server messages and update GUI state safely. */
+    /** Move the lot subscription so the server only sends us traffic for the lot on screen. */
+    private void watchLot(String lotId) {
+        if (lotId.equals(watchedLot)) return;
+        if (!watchedLot.isEmpty()) out.println("UNSUBSCRIBE|" + watchedLot);
+        out.println("SUBSCRIBE|" + lotId);
+        watchedLot = lotId;
+    }
+
+    /** Listen to server messages and update GUI state safely; reconnect if the server goes away. */
     private void startListener() {
         listenThread = new Thread(() -> {
-            try {
-                String msg;
-                while ((msg = in.readLine()) != null) {
-                    handle(msg);
+            while (true) {
+                try {
+                    String msg;
+                    while ((msg = in.readLine()) != null) {
+                        handle(msg);
+                    }
+                } catch (IOException ignored) {
+                    // fall through to reconnect
+                }
+                if (closing) return;
+                if (!reconnect()) {
+                    JOptionPane.showMessageDialog(null, "Server disconnected.");
+                    SwingUtilities.invokeLater(gui::onDisconnected);
+                    return;
                 }
-            } catch (IOException e) {
-                JOptionPane.showMessageDialog(null, "Server disconnected.");
-                gui.onDisconnected();
             }
         }, "client-listener");
         listenThread.start();
     }
 
+    /**
+     * Retries the server (e.g. a standby taking over the port), then re-JOINs and re-subscribes.
+     * The server answers JOIN with the running lot and SUBSCRIBE with its current high bid.
+     */
+    private boolean reconnect() {
+        gui.log("Connection lost, reconnecting...");
+        long t0 = System.currentTimeMillis();
+        while (!closing && System.currentTimeMillis() - t0 < RECONNECT_TIMEOUT_MS) {
+            try {
+                Socket s = new Socket(HOST, PORT);
+                try { socket.close(); } catch (IOException ignored) {}
+                socket = s;
+                in = new BufferedReader(new InputStreamReader(s.getInputStream()));
+                out = new PrintWriter(new OutputStreamWriter(s.getOutputStream()), true);
+                out.println("JOIN|" + name + "|RESUME"); // no "joined" INFO for everyone else
+                if (!watchedLot.isEmpty()) out.println("SUBSCRIBE|" + watchedLot);
+                gui.log("Reconnected after " + (System.currentTimeMillis() - t0) + " ms");
+                return true;
+            } catch (IOException e) {
+                try { Thread.sleep(RECONNECT_RETRY_MS); } catch (InterruptedException ie) { return false; }
+            }
+        }
+        return false;
+    }
+
     private void handle(String msg) {
         SwingUtilities.invokeLater(() -> {
             try {
@@ -271,6 +393,7 @@ class BidMakerLogic {
                     currentHighestBid = 0.0;
                     currentHighestBidder = "";
                     waitingForFinal = false;
+                    if (p.length > 4) watchLot(p[4]);
                     gui.onStart(item, startingBid, minIncrement);
                 } else if (msg.startsWith("BID|")) {
                     String[] p = msg.split("\\|");
@@ -304,7 +427,29 @@ class BidMakerLogic {
                     currentHighestBid = 0.0;
                     currentHighestBidder = "";
                     waitingForFinal = false;
+                    if (p.length > 4) watchLot(p[4]);
                     gui.onNewAuction(item, startingBid, minIncrement);
+                } else if (msg.startsWith("SEALED_START|")) {
+                    String[] p = msg.split("\\|");
+                    double reserve = Double.parseDouble(p[4]);
+                    sealedReserves.put(p[1], reserve);
+                    gui.onSealedStart(p[1], p[2], p[3], reserve, Integer.parseInt(p[5]), Integer.parseInt(p[6]));
+                } else if (msg.startsWith("SEALED_END|")) {
+                    String lotId = msg.split("\\|")[1];
+                    if (sealedReserves.remove(lotId) != null) gui.onSealedEnd(lotId);
+                } else if (msg.startsWith("SEALED_ACK|")) {
+                    String[] p = msg.split("\\|");
+                    gui.log("Sealed bid recorded on lot " + p[1] + ": $" + p[2] + " x " + p[3]);
+                } else if (msg.startsWith("RESULT|")) {
+                    String[] p = msg.split("\\|");
+                    boolean won = p[2].equals("WON");
+                    int units = Integer.parseInt(p[3]);
+                    double price = Double.parseDouble(p[4]);
+                    sealedReserves.remove(p[1]);
+                    gui.onSealedResult(p[1], won, units, price);
+                    JOptionPane.showMessageDialog(null, won
+                            ? "You won " + units + " unit(s) of lot " + p[1] + " at $" + price
+                            : "Lot " + p[1] + " closed. Your bid did not win.");
                 } else if (msg.startsWith("END|")) {
                     String[] p = msg.split("\\|");
                     String winner = p[1];
@@ -329,6 +474,7 @@ class BidMakerLogic {
 
     /** Clean close when GUI exits. */
     public void close() {
+        closing = true;
         try { if (out != null) out.close(); } catch (Exception ignored) {}
         try { if (in != null) in.close(); } catch (Exception ignored) {}
         try { if (socket != null && !socket.isClosed()) socket.close(); } catch (Exception ignored) {}
@@ -6,41 +6,67 @@ import java.io.*;
 import java.net.*;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /** Server GUI + logic combined in one file: BidMaster.java */
-public class BidMaster extends JFrame {
-    private JTextField itemField, startBidField, minIncField;
-    private JButton startButton, newAuctionButton, finalButton;
+public class BidMaster extends JFrame implements ServerView {
+    private JTextField itemField, startBidField, minIncField, unitsField, sealedSecondsField;
+    private JComboBox<String> modeBox;
+    private JButton startButton, newAuctionButton, finalButton, catalogButton;
     private JTextArea logArea;
     private JLabel currentBidLabel, highestBidderLabel, timerLabel;
 
     private BidMasterLogic logic; // backend reference
 
-    public BidMaster() {
-        setTitle("Auction Master - Server");
-        setSize(720, 560);
+    private static final String[] MODES = {"Open ascending", "Sealed 1st price", "Sealed 2nd price", "Uniform price"};
+
+    public BidMaster(boolean standby) {
+        setTitle(standby ? "Auction Master - Standby" : "Auction Master - Server");
+        setSize(720, 600);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLayout(new BorderLayout());
 
-        // --- Top: item + starting bid + min increment + buttons
-        JPanel top = new JPanel();
-        top.add(new JLabel("Item:"));
+        // --- Top: item + starting bid + min increment + buttons, then auction mode
+        JPanel top = new JPanel(new GridLayout(2, 1));
+        JPanel row1 = new JPanel();
+        JPanel row2 = new JPanel();
+        top.add(row1);
+        top.add(row2);
+        row1.add(new JLabel("Item:"));
         itemField = new JTextField(14);
-        top.add(itemField);
+        row1.add(itemField);
 
-        top.add(new JLabel("Start Bid:"));
+        row1.add(new JLabel("Start Bid:"));
         startBidField = new JTextField(6);
-        top.add(startBidField);
+        row1.add(startBidField);
 
-        top.add(new JLabel("Min Step:"));
+        row1.add(new JLabel("Min Step:"));
         minIncField = new JTextField(6);
-        top.add(minIncField);
+        row1.add(minIncField);
 
         startButton = new JButton("Start Auction");
         newAuctionButton = new JButton("New Auction");
-        top.add(startButton);
-        top.add(newAuctionButton);
+        row1.add(startButton);
+        row1.add(newAuctionButton);
+
+        row2.add(new JLabel("Mode:"));
+        modeBox = new JComboBox<>(MODES);
+        row2.add(modeBox);
+        row2.add(new JLabel("Units:"));
+        unitsField = new JTextField("1", 4);
+        row2.add(unitsField);
+        row2.add(new JLabel("Sealed for (s):"));
+        sealedSecondsField = new JTextField("60", 4);
+        row2.add(sealedSecondsField);
+        catalogButton = new JButton("Load Catalog...");
+        row2.add(catalogButton);
         add(top, BorderLayout.NORTH);
 
         // --- Center: logs
@@ -61,9 +87,16 @@ public class BidMaster extends JFrame {
         bottom.add(finalButton);
         add(bottom, BorderLayout.SOUTH);
 
-        // Init logic
+        // Init logic; a standby follows the primary and only serves clients after taking over
         logic = new BidMasterLogic(this);
-        logic.startServer();
+        if (standby) {
+            startButton.setEnabled(false);
+            newAuctionButton.setEnabled(false);
+            catalogButton.setEnabled(false);
+            logic.startStandby();
+        } else {
+            logic.startServer();
+        }
 
         // Actions
         startButton.addActionListener(e -> {
@@ -75,6 +108,14 @@ public class BidMaster extends JFrame {
             double startBid = parseOrDefault(startBidField.getText().trim(), 0.0);
             double minStep = parseOrDefault(minIncField.getText().trim(), 0.0);
 
+            int mode = modeBox.getSelectedIndex();
+            if (mode > 0) {
+                // Sealed lots run alongside the open auction, so the buttons stay enabled
+                int units = (int) parseOrDefault(unitsField.getText().trim(), 1);
+                int seconds = (int) parseOrDefault(sealedSecondsField.getText().trim(), 60);
+                logic.startSealedLot(item, SealedBidLot.Type.values()[mode - 1], startBid, units, seconds);
+                return;
+            }
             startButton.setEnabled(false);
             finalButton.setEnabled(true);
             logic.startAuction(item, startBid, minStep);
@@ -92,6 +133,16 @@ public class BidMaster extends JFrame {
 
         finalButton.addActionListener(e -> logic.requestFinalBid());
 
+        catalogButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+            try {
+                logic.loadCatalog(chooser.getSelectedFile());
+            } catch (IOException ex) {
+                JOptionPane.showMessageDialog(this, "Could not load catalog: " + ex.getMessage());
+            }
+        });
+
         addWindowListener(new WindowAdapter() {
             @Override public void windowClosing(WindowEvent e) { logic.closeServer(); }
         });
@@ -132,6 +183,27 @@ public class BidMaster extends JFrame {
         });
     }
 
+    /** Floor lot started without the Start button (New Auction or catalog). */
+    public void enableFinalRequest() {
+        SwingUtilities.invokeLater(() -> finalButton.setEnabled(true));
+    }
+
+    /** Standby took over the port: unlock the operator controls. */
+    public void onPromoted() {
+        SwingUtilities.invokeLater(() -> {
+            setTitle("Auction Master - Server (took over)");
+            startButton.setEnabled(true);
+            newAuctionButton.setEnabled(true);
+            catalogButton.setEnabled(true);
+            finalButton.setEnabled(true);
+        });
+    }
+
+    /** Operator popup; queued on the EDT so the logic never waits on it. */
+    public void showMessage(String msg) {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, msg));
+    }
+
     /** Reset labels when NEW_AUCTION is started. */
     private void resetLabels() {
         currentBidLabel.setText("Current Bid: $0.00");
@@ -139,11 +211,57 @@ public class BidMaster extends JFrame {
         logArea.setText("");
     }
 
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(BidMaster::new);
+    /**
+     * Run with --standby to start a hot standby for the primary on this machine.
+     * --headless runs the server without a window, logging to stdout; --catalog FILE
+     * then loads a catalog at startup (FailoverBenchmark uses both).
+     */
+    public static void main(String[] args) throws Exception {
+        boolean standby = false, headless = false;
+        String catalog = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--standby")) standby = true;
+            else if (args[i].equals("--headless")) headless = true;
+            else if (args[i].equals("--catalog") && i + 1 < args.length) catalog = args[++i];
+        }
+        if (!headless) {
+            boolean s = standby;
+            SwingUtilities.invokeLater(() -> new BidMaster(s));
+            return;
+        }
+        BidMasterLogic logic = new BidMasterLogic(new ConsoleView());
+        if (standby) {
+            logic.startStandby();
+        } else {
+            logic.startServer();
+            if (catalog != null) logic.loadCatalog(new File(catalog));
+        }
+        Thread.currentThread().join(); // server threads are daemons; run until killed
+    }
+
+    /** Headless stand-in for the window: everything goes to the log on stdout. */
+    private static class ConsoleView implements ServerView {
+        public void log(String msg) {
+            System.out.println("[" + new SimpleDateFormat("HH:mm:ss").format(new Date()) + "] " + msg);
+        }
+        public void updateCurrentBid(String bidder, double amount) {}
+        public void updateTimer(int seconds) {}
+        public void enableFinalRequest() {}
+        public void onPromoted() {}
+        public void showMessage(String msg) { log(msg); }
     }
 }
 
+/** Callbacks from BidMasterLogic to whatever shows the server: the window, or stdout when headless. */
+interface ServerView {
+    void log(String msg);
+    void updateCurrentBid(String bidder, double amount);
+    void updateTimer(int seconds);
+    void enableFinalRequest();
+    void onPromoted();
+    void showMessage(String msg);
+}
+
 /**
  * Package-private logic class used only by BidMaster.
  * Same behavior as before: starting bid, min increment, timer, final confirm.
@@ -151,13 +269,56 @@ public class BidMaster extends JFrame {
 class BidMasterLogic {
     private static final int PORT = 5000;
     private static final int BID_TIME_SECONDS = 30; // time to bid or extend after each bid
+    private static final long PREWARM_MS = 5000;    // build a scheduled lot's state this early
+    private static final int REPLICATION_PORT = 5001; // standby follows the primary here (loopback only)
+    private static final long HEARTBEAT_MS = 250;
+    private static final int FAILOVER_MS = 1500;      // standby takes over after this much silence
+    private static final long LAG_REPORT_MS = 5000;
+    private static final int REPLICA_QUEUE_LIMIT = 262_144; // events a standby may lag behind before it is dropped
+    static final String CATALOG_TOPIC = "CATALOG"; // browse channel: one SUMMARY per lot change
 
     private ServerSocket serverSocket;
     private Thread acceptThread;
     private final java.util.concurrent.CopyOnWriteArrayList<ClientHandler> clients =
             new java.util.concurrent.CopyOnWriteArrayList<>();
 
+    // Topic index: lotId (or CATALOG_TOPIC) -> subscribed clients
+    private final ConcurrentHashMap<String, Set<ClientHandler>> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ClientHandler> clientsByName = new ConcurrentHashMap<>();
+
+    // Sealed-bid lots run alongside the open auction; each closes on the lot clock
+    private final ConcurrentHashMap<String, SealedBidLot> sealedLots = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService lotClock = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "lot-clock");
+        t.setDaemon(true);
+        return t;
+    });
+    // Own thread, so slow clearing or RESULT fan-out on the lot clock never delays a heartbeat
+    private final ScheduledExecutorService heartbeatClock = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Catalog: scheduled lots wait on the lot clock; open lots queue for the floor
+    private final Set<String> catalogIds = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, SealedBidLot> prewarmed = new ConcurrentHashMap<>();
+    private final java.util.ArrayDeque<AuctionCatalog.Lot> floorQueue = new java.util.ArrayDeque<>();
+    private final java.util.List<String> catalogLoads = new CopyOnWriteArrayList<>(); // "loadedAtMillis|path"
+    private final Set<String> launchedIds = ConcurrentHashMap.newKeySet(); // so a takeover does not relaunch
+
+    // Replication: the primary streams accepted events to standbys, a standby applies them
+    private ServerSocket replicationSocket;
+    private final CopyOnWriteArrayList<ReplicaLink> replicas = new CopyOnWriteArrayList<>();
+    private final AtomicLong replSeq = new AtomicLong();
+    private int replicatedTimeLeft = 0;
+    private long lagCount = 0, lagSumMs = 0, lagMaxMs = 0, lagWindowStart = 0;
+
     // Auction state
+    private int lotCounter = 0;
+    private String currentLotId = "";
+    private boolean lotOpen = false;
+    private boolean summaryDirty = false; // bid landed since last catalog SUMMARY
     private String currentItem = "";
     private String lastBidder = "";
     private double lastBid = 0.0;
@@ -169,9 +330,9 @@ class BidMasterLogic {
     private javax.swing.Timer bidTimer;
     private int timeLeftSeconds = 0;
 
-    private final BidMaster gui; // reference to server GUI for callbacks
+    private final ServerView gui; // server GUI (or console) for callbacks
 
-    public BidMasterLogic(BidMaster gui) {
+    public BidMasterLogic(ServerView gui) {
         this.gui = gui;
     }
 
@@ -179,42 +340,347 @@ class BidMasterLogic {
     public void startServer() {
         acceptThread = new Thread(() -> {
             try {
-                serverSocket = new ServerSocket(PORT);
-                gui.log("Server started on port " + PORT);
-                while (!serverSocket.isClosed()) {
-                    Socket socket = serverSocket.accept();
-                    ClientHandler handler = new ClientHandler(socket);
-                    clients.add(handler);
-                    handler.start();
-                }
+                serverSocket = bindServerSocket(PORT, null);
             } catch (IOException e) {
                 gui.log("Server stopped.");
+                return;
             }
+            serve();
         }, "accept-thread");
         acceptThread.start();
     }
 
-    /** Starts a new auction for the given item, with starting bid and min increment. */
-    public synchronized void startAuction(String item, double startingBid, double minIncrement) {
-        this.currentItem = item;
-        this.startingBid = startingBid;
-        this.minIncrement = minIncrement;
-        this.lastBidder = "";
-        this.lastBid = 0.0; // no actual bids yet
-        this.waitingForFinal = false;
+    /** Accept loop on the already bound serverSocket. */
+    private void serve() {
+        gui.log("Server started on port " + PORT);
+        startReplicationServer();
+        try {
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                ClientHandler handler = new ClientHandler(socket);
+                clients.add(handler);
+                handler.start();
+            }
+        } catch (IOException e) {
+            gui.log("Server stopped.");
+        }
+    }
 
-        startBidTimer(); // start countdown
+    /** Binds a listening socket, retrying for up to 5 s while a previous owner releases the port. */
+    private ServerSocket bindServerSocket(int port, InetAddress addr) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            ServerSocket ss = new ServerSocket();
+            ss.setReuseAddress(true);
+            try {
+                ss.bind(new InetSocketAddress(addr, port));
+                return ss;
+            } catch (BindException e) {
+                ss.close();
+                if (attempt >= 50) throw e;
+                try { Thread.sleep(100); } catch (InterruptedException ie) { throw e; }
+            }
+        }
+    }
 
-        // Tell clients: START|item|startingBid|minIncrement
-        broadcast("START|" + currentItem + "|" + startingBid + "|" + minIncrement);
-        gui.log("Auction started for item: " + currentItem +
-                " (starting $" + startingBid + ", min step $" + minIncrement + ")");
-        gui.updateCurrentBid("None", 0.0);
+    /** Accepts standby connections and starts the heartbeat. */
+    private void startReplicationServer() {
+        Thread t = new Thread(() -> {
+            try {
+                replicationSocket = bindServerSocket(REPLICATION_PORT, InetAddress.getLoopbackAddress());
+                while (!replicationSocket.isClosed()) {
+                    Socket socket = replicationSocket.accept();
+                    socket.setTcpNoDelay(true);
+                    addReplica(new ReplicaLink(socket));
+                }
+            } catch (IOException e) {
+                if (replicationSocket == null) gui.log("Replication port " + REPLICATION_PORT + " unavailable.");
+            }
+        }, "replication-accept");
+        t.setDaemon(true);
+        t.start();
+        heartbeatClock.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_MS, HEARTBEAT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Snapshots current state into a new standby, then switches it to the live event stream.
+     * Runs on the replication-accept thread; no socket I/O happens under the auction lock.
+     */
+    private void addReplica(ReplicaLink link) {
+        java.util.List<String> snapshot = new java.util.ArrayList<>();
+        java.util.List<SealedBidLot> lots;
+        synchronized (this) {
+            replicas.add(link); // queues live events until the snapshot is written
+            snapshot.add("COUNTER|" + lotCounter);
+            for (String c : catalogLoads) snapshot.add("CATALOG|" + c);
+            for (String id : launchedIds) snapshot.add("LAUNCHED|" + id);
+            if (lotOpen) {
+                snapshot.add(floorEvent());
+                if (!lastBidder.isEmpty()) snapshot.add("BID|" + currentLotId + "|" + lastBidder + "|" + lastBid);
+                if (waitingForFinal) snapshot.add("FINAL|" + currentLotId);
+            }
+            lots = new java.util.ArrayList<>(sealedLots.values());
+            for (SealedBidLot lot : lots) snapshot.add(sealedOpenEvent(lot));
+        }
+        // Bids are copied under each lot's own lock only; any bid also queued live is
+        // dropped by the standby through its per-lot index
+        for (SealedBidLot lot : lots) {
+            lot.forEachBid((i, bidder, price, qty) ->
+                    snapshot.add("SBID|" + lot.lotId + "|" + i + "|" + bidder + "|" + price + "|" + qty));
+        }
+        link.start(snapshot);
+        gui.log("Standby connected (" + snapshot.size() + " snapshot events).");
+    }
+
+    /** Stream one accepted event to every standby: EV|seq|sentMillis|event */
+    private void replicate(String event) {
+        if (replicas.isEmpty()) return;
+        String line = frame(event);
+        for (ReplicaLink r : replicas) r.send(line);
+    }
+
+    private String frame(String event) {
+        return "EV|" + replSeq.incrementAndGet() + "|" + System.currentTimeMillis() + "|" + event;
+    }
+
+    /** HB|sentMillis|timeLeftSeconds — also carries the floor timer so a takeover can resume it. */
+    private void sendHeartbeat() {
+        if (replicas.isEmpty()) return;
+        String line = "HB|" + System.currentTimeMillis() + "|" + timeLeftSeconds;
+        for (ReplicaLink r : replicas) r.send(line);
+    }
+
+    private String floorEvent() {
+        return "FLOOR|" + currentLotId + "|" + currentItem + "|" + startingBid + "|" + minIncrement;
+    }
+
+    /** SEALED_START|lotId|item|type|reserve|units|secondsLeft */
+    private static String sealedStartMessage(SealedBidLot lot) {
+        long seconds = Math.max(0, (lot.closeAt - System.currentTimeMillis() + 999) / 1000);
+        return "SEALED_START|" + lot.lotId + "|" + lot.item + "|" + lot.type + "|" + lot.reserve +
+                "|" + lot.units + "|" + seconds;
+    }
+
+    private static String sealedOpenEvent(SealedBidLot lot) {
+        return "SEALED_OPEN|" + lot.lotId + "|" + lot.item + "|" + lot.type + "|" + lot.reserve +
+                "|" + lot.units + "|" + lot.closeAt;
+    }
+
+    /** Runs this process as a hot standby: follow the primary, take over when it goes quiet. */
+    public void startStandby() {
+        Thread t = new Thread(this::followPrimary, "replica-follower");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Follows until this standby has taken over; a failed takeover goes back to following. */
+    private void followPrimary() {
+        while (true) {
+            long lastHeard = followOnce();
+            if (lastHeard < 0 || promote(lastHeard)) return;
+        }
+    }
+
+    /** Follows one replication stream until it ends; returns when the primary was last heard. */
+    private long followOnce() {
+        Socket socket = null;
+        while (socket == null) {
+            try {
+                socket = new Socket(InetAddress.getLoopbackAddress(), REPLICATION_PORT);
+            } catch (IOException e) {
+                try { Thread.sleep(500); } catch (InterruptedException ie) { return -1; }
+            }
+        }
+        resetReplicatedState(); // the primary starts every stream with a full snapshot
+        gui.log("Following primary on port " + REPLICATION_PORT);
+        long lastHeard = System.currentTimeMillis();
+        lagWindowStart = lastHeard;
+        try {
+            socket.setSoTimeout(FAILOVER_MS);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            String line;
+            while ((line = in.readLine()) != null) {
+                lastHeard = System.currentTimeMillis();
+                applyReplicated(line, lastHeard);
+            }
+            gui.log("Primary closed the replication stream.");
+        } catch (SocketTimeoutException e) {
+            gui.log("No heartbeat from primary for " + FAILOVER_MS + " ms.");
+        } catch (IOException e) {
+            gui.log("Replication stream lost.");
+        }
+        try { socket.close(); } catch (IOException ignored) {}
+        return lastHeard;
+    }
+
+    private synchronized void resetReplicatedState() {
+        sealedLots.clear();
+        catalogLoads.clear();
+        launchedIds.clear();
+        currentLotId = "";
+        lotOpen = false;
+        lastBidder = "";
+        lastBid = 0.0;
+        waitingForFinal = false;
+    }
+
+    private void applyReplicated(String line, long now) {
+        try {
+            if (line.startsWith("HB|")) {
+                String[] p = line.split("\\|");
+                replicatedTimeLeft = Integer.parseInt(p[2]);
+            } else if (line.startsWith("EV|")) {
+                String[] p = line.split("\\|", 4);
+                long lag = now - Long.parseLong(p[2]);
+                lagCount++;
+                lagSumMs += lag;
+                lagMaxMs = Math.max(lagMaxMs, lag);
+                applyEvent(p[3]);
+            }
+        } catch (Exception ex) {
+            gui.log("Malformed replication line ignored: " + line);
+        }
+        if (now - lagWindowStart >= LAG_REPORT_MS) {
+            if (lagCount > 0) {
+                gui.log(String.format("Replication lag: avg %.2f ms, max %d ms over %d events",
+                        (double) lagSumMs / lagCount, lagMaxMs, lagCount));
+            }
+            lagCount = lagSumMs = lagMaxMs = 0;
+            lagWindowStart = now;
+        }
+    }
+
+    /** Applies one replicated event to local state; no client traffic, no timers. */
+    private synchronized void applyEvent(String ev) {
+        String[] p = ev.split("\\|");
+        switch (p[0]) {
+            case "FLOOR": // FLOOR|lotId|item|startingBid|minIncrement
+                noteLotId(p[1]);
+                currentLotId = p[1];
+                currentItem = p[2];
+                startingBid = Double.parseDouble(p[3]);
+                minIncrement = Double.parseDouble(p[4]);
+                lastBidder = "";
+                lastBid = 0.0;
+                waitingForFinal = false;
+                lotOpen = true;
+                replicatedTimeLeft = BID_TIME_SECONDS;
+                gui.updateCurrentBid("None", 0.0);
+                break;
+            case "BID": // BID|lotId|bidder|amount
+                if (!p[1].equals(currentLotId)) break;
+                lastBidder = p[2];
+                lastBid = Double.parseDouble(p[3]);
+                waitingForFinal = false;
+                replicatedTimeLeft = BID_TIME_SECONDS;
+                gui.updateCurrentBid(lastBidder, lastBid);
+                break;
+            case "FINAL":
+                if (p[1].equals(currentLotId)) waitingForFinal = true;
+                break;
+            case "FLOOR_END":
+                if (p[1].equals(currentLotId)) { lotOpen = false; waitingForFinal = false; }
+                break;
+            case "SEALED_OPEN": // SEALED_OPEN|lotId|item|type|reserve|units|closeAt
+                noteLotId(p[1]);
+                if (sealedLots.containsKey(p[1])) break;
+                SealedBidLot lot = new SealedBidLot(p[1], p[2], SealedBidLot.Type.valueOf(p[3]),
+                        Double.parseDouble(p[4]), Integer.parseInt(p[5]), 0);
+                lot.closeAt = Long.parseLong(p[6]);
+                sealedLots.put(lot.lotId, lot);
+                break;
+            case "SBID": { // SBID|lotId|index|bidder|price|qty; index drops bids already in the snapshot
+                SealedBidLot l = sealedLots.get(p[1]);
+                if (l != null && Integer.parseInt(p[2]) == l.bidCount()) {
+                    l.submit(p[3], Double.parseDouble(p[4]), Integer.parseInt(p[5]));
+                }
+                break;
+            }
+            case "SEALED_CLOSED":
+                sealedLots.remove(p[1]);
+                break;
+            case "CATALOG": // CATALOG|loadedAtMillis|path
+                catalogLoads.add(ev.substring("CATALOG|".length()));
+                break;
+            case "LAUNCHED":
+                launchedIds.add(p[1]);
+                break;
+            case "COUNTER":
+                lotCounter = Math.max(lotCounter, Integer.parseInt(p[1]));
+                break;
+        }
+    }
+
+    /** Keep generated lot ids unique after a takeover. */
+    private void noteLotId(String lotId) {
+        launchedIds.add(lotId);
+        if (lotId.matches("L\\d+")) lotCounter = Math.max(lotCounter, Integer.parseInt(lotId.substring(1)));
+    }
+
+    /**
+     * Standby becomes primary. The client port is the fence: a primary that is slow but alive
+     * still holds it, so nothing (timers, closes, catalog) is resumed unless the bind succeeds.
+     * Returns false if the port never freed up; the caller then goes back to following.
+     */
+    private boolean promote(long lastHeard) {
+        try {
+            serverSocket = bindServerSocket(PORT, null);
+        } catch (IOException e) {
+            gui.log("Port " + PORT + " is still held by the primary; not taking over.");
+            return false;
+        }
+        gui.log("Taking over as primary: port bound " +
+                (System.currentTimeMillis() - lastHeard) + " ms after the last heartbeat");
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (lotOpen && !waitingForFinal) {
+                startBidTimer(replicatedTimeLeft > 0 ? replicatedTimeLeft : BID_TIME_SECONDS);
+            }
+            for (SealedBidLot lot : sealedLots.values()) {
+                lotClock.schedule(() -> closeSealedLot(lot.lotId),
+                        Math.max(0, lot.closeAt - now), TimeUnit.MILLISECONDS);
+            }
+        }
+        java.util.List<String> loads = new java.util.ArrayList<>(catalogLoads);
+        catalogLoads.clear();
+        for (String c : loads) {
+            String[] p = c.split("\\|", 2);
+            File f = new File(p[1]);
+            try {
+                loadCatalog(f, Long.parseLong(p[0]), true); // skips lots in launchedIds
+            } catch (IOException e) {
+                gui.log("Could not reload catalog " + f.getName() + ": " + e.getMessage());
+            }
+        }
+        acceptThread = new Thread(this::serve, "accept-thread");
+        acceptThread.start();
+        gui.onPromoted();
+        return true;
+    }
+
+    /** Starts a new auction for the given item, with starting bid and min increment. */
+    public synchronized void startAuction(String item, double startingBid, double minIncrement) {
+        launchFloorLot("L" + (++lotCounter), item, startingBid, minIncrement, "START");
     }
 
     /** Resets current auction with a new item; clients remain connected. */
     public synchronized void resetAuction(String newItem, double startingBid, double minIncrement) {
+        launchFloorLot("L" + (++lotCounter), newItem, startingBid, minIncrement, "NEW_AUCTION");
+    }
+
+    /**
+     * Puts a lot on the open-auction floor, withdrawing whatever was there.
+     * type is the announcement: START from the Start button, NEW_AUCTION otherwise.
+     */
+    private synchronized void launchFloorLot(String lotId, String newItem, double startingBid, double minIncrement,
+                                             String type) {
         stopBidTimer();
+        if (lotOpen) { // previous lot is withdrawn unsold
+            lotOpen = false;
+            publishSummary();
+            dropTopic(currentLotId);
+        }
+        this.currentLotId = lotId;
+        this.lotOpen = true;
         this.currentItem = newItem;
         this.startingBid = startingBid;
         this.minIncrement = minIncrement;
@@ -223,37 +689,231 @@ class BidMasterLogic {
         this.waitingForFinal = false;
 
         startBidTimer();
+        launchedIds.add(currentLotId);
+        replicate(floorEvent());
 
-        // Tell clients: NEW_AUCTION|item|startingBid|minIncrement
-        broadcast("NEW_AUCTION|" + currentItem + "|" + startingBid + "|" + minIncrement);
-        gui.log("New auction started for: " + currentItem +
+        // Tell clients: START/NEW_AUCTION|item|startingBid|minIncrement|lotId
+        broadcast(startMessage(type));
+        publishSummary();
+        gui.log("Auction " + currentLotId + " started for: " + currentItem +
                 " (starting $" + startingBid + ", min step $" + minIncrement + ")");
         gui.updateCurrentBid("None", 0.0);
+        gui.enableFinalRequest();
+    }
+
+    /** Opens a sealed-bid lot that clears automatically after the given number of seconds. */
+    public synchronized void startSealedLot(String item, SealedBidLot.Type type, double reserve,
+                                            int units, int seconds) {
+        SealedBidLot lot = new SealedBidLot("L" + (++lotCounter), item, type, reserve, units, 0);
+        openSealedLot(lot, seconds * 1000L);
+    }
+
+    private synchronized void openSealedLot(SealedBidLot lot, long durationMs) {
+        lot.closeAt = System.currentTimeMillis() + durationMs;
+        sealedLots.put(lot.lotId, lot);
+        launchedIds.add(lot.lotId);
+        replicate(sealedOpenEvent(lot));
+        lotClock.schedule(() -> closeSealedLot(lot.lotId), durationMs, TimeUnit.MILLISECONDS);
+
+        // Tell clients: SEALED_START|lotId|item|type|reserve|units|seconds
+        broadcast(sealedStartMessage(lot));
+        publish(CATALOG_TOPIC, summaryMessage(lot.lotId, lot.item, "SEALED", lot.reserve));
+        gui.log("Sealed lot " + lot.lotId + " (" + lot.type + ") opened for: " + lot.item +
+                " (reserve $" + lot.reserve + ", units " + lot.units + ", " + (durationMs + 999) / 1000 + " s)");
+    }
+
+    /**
+     * Loads a catalog file and schedules every lot on the lot clock.
+     * Each lot gets one pre-warm task PREWARM_MS ahead of its (staggered) start, which
+     * then schedules the launch, so thousands of lots cost only a sleeping thread.
+     */
+    public void loadCatalog(File file) throws IOException {
+        loadCatalog(file, System.currentTimeMillis(), false);
+    }
+
+    /**
+     * loadedAt anchors "+N" times, so a standby reloading the file keeps the original timetable.
+     * On such a reload, lots that already launched are expected and skipped rather than rejected.
+     */
+    private void loadCatalog(File file, long loadedAt, boolean reload) throws IOException {
+        long now = System.currentTimeMillis();
+        java.util.List<AuctionCatalog.Lot> lots = AuctionCatalog.load(file, loadedAt);
+        for (AuctionCatalog.Lot l : lots) {
+            if (l.lotId.matches("L\\d+")) {
+                throw new IOException("Lot id " + l.lotId + " is reserved for lots started by the operator.");
+            }
+            if (catalogIds.contains(l.lotId)) throw new IOException("Lot " + l.lotId + " is already scheduled.");
+            if (!reload && (sealedLots.containsKey(l.lotId) || launchedIds.contains(l.lotId))) {
+                throw new IOException("Lot " + l.lotId + " is already in use.");
+            }
+        }
+        for (AuctionCatalog.Lot l : lots) catalogIds.add(l.lotId);
+        synchronized (this) {
+            String load = loadedAt + "|" + file.getAbsolutePath();
+            catalogLoads.add(load);
+            replicate("CATALOG|" + load);
+        }
+        int skipped = 0;
+        for (AuctionCatalog.Lot l : lots) {
+            // Already over, or already launched before a takeover
+            if ((l.type != null && l.endAt() <= now) || launchedIds.contains(l.lotId)) { skipped++; continue; }
+            long delay = Math.max(0, l.launchAt() - PREWARM_MS - now);
+            lotClock.schedule(() -> prewarmLot(l), delay, TimeUnit.MILLISECONDS);
+        }
+        gui.log("Catalog " + file.getName() + ": " + (lots.size() - skipped) + " lots scheduled" +
+                (skipped > 0 ? ", " + skipped + " already run" : ""));
+    }
+
+    /** Builds the lot's state ahead of time, then schedules its launch. Runs on the lot clock. */
+    private void prewarmLot(AuctionCatalog.Lot l) {
+        if (l.type != null) {
+            prewarmed.put(l.lotId, new SealedBidLot(l.lotId, l.item, l.type, l.reserve, l.units, l.expectedBids));
+        }
+        publish(CATALOG_TOPIC, summaryMessage(l.lotId, l.item, "UPCOMING", l.reserve));
+        long delay = Math.max(0, l.launchAt() - System.currentTimeMillis());
+        lotClock.schedule(() -> launchScheduledLot(l), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void launchScheduledLot(AuctionCatalog.Lot l) {
+        if (l.type != null) {
+            SealedBidLot lot = prewarmed.remove(l.lotId);
+            openSealedLot(lot, Math.max(0, l.endAt() - System.currentTimeMillis()));
+            return;
+        }
+        synchronized (this) {
+            // Open lots share the single floor; wait for the current one to finish
+            if (lotOpen) {
+                floorQueue.add(l);
+                gui.log("Lot " + l.lotId + " queued until the floor is free.");
+            } else {
+                launchFloorLot(l.lotId, l.item, l.reserve, l.minStep, "NEW_AUCTION");
+            }
+        }
+    }
+
+    /** Called when the floor lot ends; starts the next queued catalog lot, if any. */
+    private synchronized void launchNextFloorLot() {
+        if (lotOpen) return;
+        AuctionCatalog.Lot next = floorQueue.poll();
+        if (next != null) launchFloorLot(next.lotId, next.item, next.reserve, next.minStep, "NEW_AUCTION");
+    }
+
+    /** Clears a sealed lot and sends each bidder their own RESULT. Runs on the lot clock. */
+    private void closeSealedLot(String lotId) {
+        SealedBidLot lot;
+        synchronized (this) {
+            lot = sealedLots.remove(lotId);
+            if (lot == null) return;
+            replicate("SEALED_CLOSED|" + lotId);
+            dropTopic(lotId); // RESULT goes to each bidder directly
+        }
+        int bids = lot.bidCount();
+        long t0 = System.nanoTime();
+        SealedBidLot.Clearing result = lot.close();
+        long clearMs = (System.nanoTime() - t0) / 1_000_000;
+
+        // RESULT|lotId|WON/LOST|units|price
+        for (int i = 0; i < result.bidders.length; i++) {
+            ClientHandler c = clientsByName.get(result.bidders[i]);
+            if (c == null) continue;
+            c.send("RESULT|" + lotId + "|" + (result.won[i] > 0 ? "WON" : "LOST") + "|" +
+                    result.won[i] + "|" + result.price);
+        }
+        broadcast("SEALED_END|" + lotId); // everyone saw SEALED_START, so everyone drops the lot
+        publish(CATALOG_TOPIC, summaryMessage(lotId, lot.item, "CLOSED", result.price));
+        gui.log("Sealed lot " + lotId + " cleared at $" + result.price + " (" + bids +
+                " bids, " + result.bidders.length + " bidders, " + clearMs + " ms)");
     }
 
     /** Requests final confirmation from the last bidder, if any. */
     public synchronized void requestFinalBid() {
         if (lastBidder == null || lastBidder.isEmpty()) {
-            JOptionPane.showMessageDialog(null, "No bids yet!");
+            gui.showMessage("No bids yet!");
             return;
         }
         waitingForFinal = true;
         stopBidTimer(); // pause timer during final confirm
-        broadcast("FINAL_REQUEST|" + lastBidder + "|" + lastBid);
+        replicate("FINAL|" + currentLotId);
+        publish(currentLotId, "FINAL_REQUEST|" + lastBidder + "|" + lastBid);
         gui.log("Final bid requested from " + lastBidder);
     }
 
-    /** Broadcast message to all connected clients. */
+    /** Broadcast message to all connected clients. Keep for lot announcements only. */
     private void broadcast(String msg) {
         for (ClientHandler c : clients) {
             c.send(msg);
         }
     }
 
+    /** Send message to the clients subscribed to one topic (a lot id or CATALOG_TOPIC). */
+    private void publish(String topic, String msg) {
+        Set<ClientHandler> subs = subscribers.get(topic);
+        if (subs == null) return;
+        for (ClientHandler c : subs) {
+            c.send(msg);
+        }
+    }
+
+    /** Topics a client may subscribe to: the catalog, or a lot that is open or still scheduled. */
+    private synchronized boolean isKnownTopic(String topic) {
+        return topic.equals(CATALOG_TOPIC)
+                || (lotOpen && topic.equals(currentLotId))
+                || sealedLots.containsKey(topic)
+                || (catalogIds.contains(topic) && !launchedIds.contains(topic));
+    }
+
+    private void subscribe(String topic, ClientHandler c) {
+        c.topics.add(topic);
+        // Add inside compute, so a racing unsubscribe cannot drop the set we are adding to
+        subscribers.compute(topic, (t, subs) -> {
+            if (subs == null) subs = ConcurrentHashMap.newKeySet();
+            subs.add(c);
+            return subs;
+        });
+    }
+
+    private void unsubscribe(String topic, ClientHandler c) {
+        c.topics.remove(topic);
+        subscribers.computeIfPresent(topic, (t, subs) -> {
+            subs.remove(c);
+            return subs.isEmpty() ? null : subs;
+        });
+    }
+
+    /** Forgets an ended lot's topic; bidders are auto-subscribed and may never unsubscribe. */
+    private void dropTopic(String topic) {
+        Set<ClientHandler> subs = subscribers.remove(topic);
+        if (subs == null) return;
+        for (ClientHandler c : subs) c.topics.remove(topic);
+    }
+
+    /** START / NEW_AUCTION line for the current lot. */
+    private String startMessage(String type) {
+        return type + "|" + currentItem + "|" + startingBid + "|" + minIncrement + "|" + currentLotId;
+    }
+
+    /** Push SUMMARY|lotId|item|status|highBid for the current lot to catalog browsers. */
+    private synchronized void publishSummary() {
+        summaryDirty = false;
+        publish(CATALOG_TOPIC, summaryMessage());
+    }
+
+    private String summaryMessage() {
+        return summaryMessage(currentLotId, currentItem, lotOpen ? "OPEN" : "CLOSED", lastBid);
+    }
+
+    private static String summaryMessage(String lotId, String item, String status, double price) {
+        return "SUMMARY|" + lotId + "|" + item + "|" + status + "|" + price;
+    }
+
     /** Cleanly close all sockets and stop the server. */
     public void closeServer() {
         stopBidTimer();
+        lotClock.shutdownNow();
+        heartbeatClock.shutdownNow();
         try {
+            for (ReplicaLink r : replicas) r.close();
+            if (replicationSocket != null && !replicationSocket.isClosed()) replicationSocket.close();
             for (ClientHandler c : clients) c.close();
             if (serverSocket != null && !serverSocket.isClosed()) serverSocket.close();
         } catch (IOException ignored) {}
@@ -261,29 +921,39 @@ class BidMasterLogic {
 
     /** Start / restart the bid countdown timer. */
     private synchronized void startBidTimer() {
+        startBidTimer(BID_TIME_SECONDS);
+    }
+
+    private synchronized void startBidTimer(int seconds) {
         stopBidTimer();
-        timeLeftSeconds = BID_TIME_SECONDS;
+        timeLeftSeconds = seconds;
         gui.updateTimer(timeLeftSeconds);
         bidTimer = new javax.swing.Timer(1000, e -> {
             synchronized (BidMasterLogic.this) {
                 timeLeftSeconds--;
                 if (timeLeftSeconds >= 0) {
                     gui.updateTimer(timeLeftSeconds);
-                    broadcast("TIME|" + timeLeftSeconds);
+                    publish(currentLotId, "TIME|" + timeLeftSeconds);
                 }
+                // Coalesce bid traffic into at most one catalog SUMMARY per tick
+                if (summaryDirty) publishSummary();
                 if (timeLeftSeconds <= 0) {
                     stopBidTimer();
                     // Time's up – end auction automatically
                     if (lastBidder != null && !lastBidder.isEmpty()) {
                         gui.log("Time up. Auto-ending auction. Winner: " + lastBidder);
-                        broadcast("END|" + lastBidder + "|" + lastBid);
-                        JOptionPane.showMessageDialog(null,
-                                "Time up! Winner: " + lastBidder + " ($" + lastBid + ")");
+                        publish(currentLotId, "END|" + lastBidder + "|" + lastBid);
+                        gui.showMessage("Time up! Winner: " + lastBidder + " ($" + lastBid + ")");
                     } else {
                         gui.log("Time up. No winning bids.");
-                        broadcast("INFO|Time up. No winning bids.");
+                        publish(currentLotId, "INFO|Time up. No winning bids.");
                     }
                     waitingForFinal = false;
+                    lotOpen = false;
+                    replicate("FLOOR_END|" + currentLotId);
+                    publishSummary();
+                    dropTopic(currentLotId);
+                    lotClock.execute(BidMasterLogic.this::launchNextFloorLot);
                 }
             }
         });
@@ -299,12 +969,68 @@ class BidMasterLogic {
         gui.updateTimer(0);
     }
 
+    /**
+     * One connected standby. send() only queues; the link's own writer thread does the socket
+     * I/O, so a slow standby never stalls bidding. A standby that falls REPLICA_QUEUE_LIMIT
+     * lines behind is dropped (it can reconnect and take a fresh snapshot).
+     */
+    private class ReplicaLink {
+        private final Socket socket;
+        private final LinkedBlockingQueue<String> queue = new LinkedBlockingQueue<>(REPLICA_QUEUE_LIMIT);
+        private Thread writer;
+        private boolean dropped = false;
+
+        ReplicaLink(Socket socket) {
+            this.socket = socket;
+        }
+
+        /** Writes the snapshot, then live events as they are queued. */
+        void start(java.util.List<String> snapshot) {
+            writer = new Thread(() -> {
+                try {
+                    PrintWriter out = new PrintWriter(new BufferedWriter(
+                            new OutputStreamWriter(socket.getOutputStream())), false);
+                    for (String ev : snapshot) out.println(frame(ev));
+                    out.flush();
+                    while (!out.checkError()) {
+                        String line = queue.take();
+                        do { out.println(line); } while ((line = queue.poll()) != null);
+                        out.flush();
+                    }
+                } catch (IOException | InterruptedException ignored) {
+                    // fall through to drop
+                }
+                drop("Standby disconnected.");
+            }, "replica-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        void send(String line) {
+            if (!queue.offer(line)) drop("Standby fell " + REPLICA_QUEUE_LIMIT + " events behind; dropped.");
+        }
+
+        synchronized void drop(String why) {
+            if (dropped) return;
+            close();
+            gui.log(why);
+        }
+
+        synchronized void close() {
+            dropped = true;
+            replicas.remove(this);
+            if (writer != null) writer.interrupt();
+            try { socket.close(); } catch (IOException ignored) {}
+        }
+    }
+
     /** Handles one client connection. */
     private class ClientHandler extends Thread {
         private final Socket socket;
         private PrintWriter out;
         private BufferedReader in;
         private String name = "";
+        private final Set<String> topics = ConcurrentHashMap.newKeySet(); // for cleanup on disconnect
 
         ClientHandler(Socket socket) {
             super("client-" + socket.getRemoteSocketAddress());
@@ -325,6 +1051,8 @@ class BidMasterLogic {
                 gui.log("Client disconnected: " + name);
             } finally {
                 clients.remove(this);
+                if (!name.isEmpty()) clientsByName.remove(name, this);
+                for (String topic : topics) unsubscribe(topic, this);
                 close();
             }
         }
@@ -332,11 +1060,47 @@ class BidMasterLogic {
         private void handle(String msg) {
             try {
                 if (msg.startsWith("JOIN|")) {
-                    String[] parts = msg.split("\\|", 2);
+                    // JOIN|name, or JOIN|name|RESUME when a client reconnects (e.g. after failover)
+                    String[] parts = msg.split("\\|");
                     if (parts.length < 2) return;
                     name = parts[1].trim();
-                    gui.log(name + " joined the auction.");
-                    broadcast("INFO|" + name + " joined the auction.");
+                    boolean resume = parts.length > 2 && parts[2].trim().equals("RESUME");
+                    clientsByName.put(name, this);
+                    if (resume) {
+                        gui.log(name + " reconnected.");
+                    } else {
+                        gui.log(name + " joined the auction.");
+                        broadcast("INFO|" + name + " joined the auction.");
+                    }
+                    synchronized (BidMasterLogic.this) {
+                        // Late joiner: announce the running lots so the client can subscribe and bid
+                        if (lotOpen) send(startMessage("START"));
+                        for (SealedBidLot lot : sealedLots.values()) send(sealedStartMessage(lot));
+                    }
+                } else if (msg.startsWith("SUBSCRIBE|")) {
+                    String[] parts = msg.split("\\|", 2);
+                    if (parts.length < 2 || parts[1].trim().isEmpty()) { send("INFO|Malformed SUBSCRIBE"); return; }
+                    String topic = parts[1].trim();
+                    synchronized (BidMasterLogic.this) {
+                        if (!isKnownTopic(topic)) { send("INFO|No open or scheduled lot " + topic); return; }
+                        subscribe(topic, this);
+                        // Snapshot so the subscriber does not wait for the next bid
+                        if (topic.equals(CATALOG_TOPIC)) {
+                            if (!currentLotId.isEmpty()) send(summaryMessage());
+                            for (SealedBidLot lot : sealedLots.values()) {
+                                send(summaryMessage(lot.lotId, lot.item, "SEALED", lot.reserve));
+                            }
+                        } else if (lotOpen && topic.equals(currentLotId) && !lastBidder.isEmpty()) {
+                            send("BID|" + lastBidder + "|" + lastBid);
+                            // BID (and START before it) reset the client's final window; re-open it,
+                            // or a bidder reconnecting after a takeover could never confirm
+                            if (waitingForFinal) send("FINAL_REQUEST|" + lastBidder + "|" + lastBid);
+                        }
+                    }
+                } else if (msg.startsWith("UNSUBSCRIBE|")) {
+                    String[] parts = msg.split("\\|", 2);
+                    if (parts.length < 2) return;
+                    unsubscribe(parts[1].trim(), this);
                 } else if (msg.startsWith("BID|")) {
                     String[] parts = msg.split("\\|");
                     if (parts.length < 3) { send("INFO|Malformed BID"); return; }
@@ -345,6 +1109,7 @@ class BidMasterLogic {
                     double amount = Double.parseDouble(parts[2].trim()); // may throw NFE
 
                     synchronized (BidMasterLogic.this) {
+                        if (!lotOpen) { send("INFO|No auction is open."); return; }
                         // Enforce starting bid
                         if (amount < startingBid) {
                             send("INFO|Bid must be at least starting bid $" + startingBid);
@@ -363,10 +1128,37 @@ class BidMasterLogic {
                         lastBidder = bidder;
                         waitingForFinal = false; // any new bid cancels prior final window
                         startBidTimer(); // restart countdown
+                        replicate("BID|" + currentLotId + "|" + bidder + "|" + amount);
                         gui.updateCurrentBid(lastBidder, lastBid);
-                        broadcast("BID|" + bidder + "|" + amount);
+                        subscribe(currentLotId, this); // bidding implies watching the lot
+                        publish(currentLotId, "BID|" + bidder + "|" + amount);
+                        summaryDirty = true;
                         gui.log("New highest bid from " + bidder + ": $" + amount);
                     }
+                } else if (msg.startsWith("SEALED_BID|")) {
+                    // SEALED_BID|lotId|price|qty — bids as the JOINed name, acknowledged to the sender only
+                    String[] parts = msg.split("\\|");
+                    if (parts.length < 3) { send("INFO|Malformed SEALED_BID"); return; }
+                    if (name.isEmpty()) { send("INFO|Join before placing a sealed bid."); return; }
+
+                    String lotId = parts[1].trim();
+                    String bidder = name; // RESULT is routed by this name
+                    double amount = Double.parseDouble(parts[2].trim()); // may throw NFE
+                    int requested = parts.length > 3 ? Integer.parseInt(parts[3].trim()) : 1;
+
+                    SealedBidLot lot = sealedLots.get(lotId);
+                    if (lot == null) { send("INFO|Sealed lot " + lotId + " is not open."); return; }
+                    int quantity = lot.recordedQuantity(requested); // what the ack and the standby see
+                    String rejected;
+                    synchronized (lot) { // keeps the standby's copy in the same arrival order
+                        int index = lot.bidCount();
+                        rejected = lot.submit(bidder, amount, requested);
+                        if (rejected == null) {
+                            replicate("SBID|" + lotId + "|" + index + "|" + bidder + "|" + amount + "|" + quantity);
+                        }
+                    }
+                    if (rejected != null) { send("INFO|" + rejected); return; }
+                    send("SEALED_ACK|" + lotId + "|" + amount + "|" + quantity);
                 } else if (msg.startsWith("FINAL_CONFIRM|")) {
                     String[] parts = msg.split("\\|");
                     if (parts.length < 2) return;
@@ -374,11 +1166,15 @@ class BidMasterLogic {
                     synchronized (BidMasterLogic.this) {
                         if (waitingForFinal && confirmer.equals(lastBidder)) {
                             gui.log("Final confirmation received from " + confirmer);
-                            broadcast("END|" + confirmer + "|" + lastBid);
-                            JOptionPane.showMessageDialog(null,
-                                    "Auction ended. Winner: " + confirmer + " ($" + lastBid + ")");
+                            publish(currentLotId, "END|" + confirmer + "|" + lastBid);
+                            gui.showMessage("Auction ended. Winner: " + confirmer + " ($" + lastBid + ")");
                             waitingForFinal = false;
+                            lotOpen = false;
                             stopBidTimer();
+                            replicate("FLOOR_END|" + currentLotId);
+                            publishSummary();
+                            dropTopic(currentLotId);
+                            lotClock.execute(BidMasterLogic.this::launchNextFloorLot);
                         } else {
                             send("INFO|Only last bidder can confirm the final bid.");
                         }
@@ -400,3 +1196,101 @@ class BidMasterLogic {
         }
     }
 }
+
+/**
+ * Auction catalog loaded from a CSV file, one lot per line:
+ * lotId,item,mode,start,close,reserve,minStep,units[,expectedBids]
+ * mode is OPEN, FIRST_PRICE, SECOND_PRICE or UNIFORM; start/close are "yyyy-MM-dd HH:mm:ss"
+ * or "+N" seconds after loading. Blank lines, '#' comments and a "lotId,..." header are skipped.
+ */
+class AuctionCatalog {
+    static final long STAGGER_STEP_MS = 20;     // spacing between lots that share a start time
+    static final long STAGGER_WINDOW_MS = 2000; // never spread one start slot wider than this
+
+    /** One scheduled lot. type == null means an open ascending lot. */
+    static class Lot {
+        final String lotId, item;
+        final SealedBidLot.Type type;
+        final long startAt, closeAt; // epoch ms as written in the catalog
+        final double reserve, minStep;
+        final int units, expectedBids;
+        long offsetMs = 0;           // stagger added to both start and close
+
+        Lot(String lotId, String item, SealedBidLot.Type type, long startAt, long closeAt,
+            double reserve, double minStep, int units, int expectedBids) {
+            this.lotId = lotId;
+            this.item = item;
+            this.type = type;
+            this.startAt = startAt;
+            this.closeAt = closeAt;
+            this.reserve = reserve;
+            this.minStep = minStep;
+            this.units = units;
+            this.expectedBids = expectedBids;
+        }
+
+        long launchAt() { return startAt + offsetMs; }
+
+        long endAt() { return closeAt + offsetMs; }
+    }
+
+    /** Parses a catalog; the error message names the offending line. */
+    static java.util.List<Lot> load(File file, long now) throws IOException {
+        java.util.List<Lot> lots = new java.util.ArrayList<>();
+        Set<String> ids = new java.util.HashSet<>();
+        SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+            String line;
+            int lineNo = 0;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("lotId,")) continue;
+                String[] p = line.split(",");
+                try {
+                    if (p.length < 8) throw new IllegalArgumentException("expected at least 8 columns");
+                    String lotId = p[0].trim();
+                    if (lotId.isEmpty() || !ids.add(lotId)) throw new IllegalArgumentException("duplicate or empty lotId");
+                    String mode = p[2].trim().toUpperCase();
+                    SealedBidLot.Type type = null;
+                    if (!mode.equals("OPEN")) {
+                        try { type = SealedBidLot.Type.valueOf(mode); }
+                        catch (IllegalArgumentException e) { throw new IllegalArgumentException("unknown mode " + mode); }
+                    }
+                    long start = parseTime(p[3].trim(), fmt, now);
+                    long close = parseTime(p[4].trim(), fmt, now);
+                    if (type != null && close <= start) throw new IllegalArgumentException("close must be after start");
+                    lots.add(new Lot(lotId, p[1].trim(), type, start, close,
+                            Double.parseDouble(p[5].trim()), Double.parseDouble(p[6].trim()),
+                            Integer.parseInt(p[7].trim()), p.length > 8 ? Integer.parseInt(p[8].trim()) : 0));
+                } catch (IllegalArgumentException | java.text.ParseException e) {
+                    throw new IOException("Catalog line " + lineNo + ": " + e.getMessage());
+                }
+            }
+        }
+        stagger(lots);
+        return lots;
+    }
+
+    private static long parseTime(String txt, SimpleDateFormat fmt, long now) throws java.text.ParseException {
+        if (txt.startsWith("+")) return now + Long.parseLong(txt.substring(1)) * 1000;
+        return fmt.parse(txt).getTime();
+    }
+
+    /** Spreads lots with the same start time so their announcements do not land in one burst. */
+    static void stagger(java.util.List<Lot> lots) {
+        lots.sort((a, b) -> Long.compare(a.startAt, b.startAt));
+        int i = 0;
+        while (i < lots.size()) {
+            int j = i;
+            while (j < lots.size() && lots.get(j).startAt == lots.get(i).startAt) j++;
+            int n = j - i;
+            // Spread over the whole window once the step no longer fits; a whole-ms step would hit 0 past 2000 lots
+            boolean fits = n * STAGGER_STEP_MS <= STAGGER_WINDOW_MS;
+            for (int k = i; k < j; k++) {
+                lots.get(k).offsetMs = fits ? (k - i) * STAGGER_STEP_MS : (k - i) * STAGGER_WINDOW_MS / n;
+            }
+            i = j;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+import java.io.*;
+import java.net.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Failover benchmark: starts a headless primary and standby on this machine, keeps bot
+ * clients bidding on a sealed lot and the open floor, then kills the primary (SIGKILL).
+ * Each bot pipelines up to [bids in flight] sealed bids, so the default load saturates the
+ * primary; pass 1 for a closed loop. Reports the standby's replication lag, its takeover
+ * time and how long each bot took to get a bid accepted again. Needs ports 5000/5001 free.
+ * Run: javac -encoding UTF-8 *.java && java FailoverBenchmark [bots] [seconds before kill] [bids in flight]
+ */
+public class FailoverBenchmark {
+    private static final int PORT = 5000;
+    private static final String SEALED_LOT = "BENCH_S", FLOOR_LOT = "BENCH_F";
+    private static final long START_TIMEOUT_MS = 15000;
+    private static final long RECONNECT_TIMEOUT_MS = 30000; // same as BidMaker
+    private static final long RECONNECT_RETRY_MS = 200;
+    private static final int FLOOR_EVERY = 10;              // every 10th round also bids on the floor
+
+    private static final AtomicLong floorBid = new AtomicLong();
+    private static final AtomicLong acked = new AtomicLong();
+    private static volatile long killedAt = 0;
+    private static volatile boolean stop = false;
+
+    public static void main(String[] args) throws Exception {
+        int bots = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int loadSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int inFlight = args.length > 2 ? Integer.parseInt(args[2]) : 256; // per bot
+
+        File catalog = File.createTempFile("failover", ".csv");
+        catalog.deleteOnExit();
+        try (PrintWriter w = new PrintWriter(catalog)) {
+            w.println("lotId,item,mode,start,close,reserve,minStep,units,expectedBids");
+            w.println(SEALED_LOT + ",Bulk,UNIFORM,+0,+3600,1,0,100,1000000");
+            w.println(FLOOR_LOT + ",Car,OPEN,+0,+0,1,1,1");
+        }
+
+        List<String> primaryOut = new CopyOnWriteArrayList<>(), standbyOut = new CopyOnWriteArrayList<>();
+        Process primary = startServer(primaryOut, "--headless", "--catalog", catalog.getAbsolutePath());
+        Process standby = null;
+        try {
+            awaitLine(primaryOut, "Server started on port", START_TIMEOUT_MS);
+            standby = startServer(standbyOut, "--headless", "--standby");
+            awaitLine(primaryOut, "Standby connected", START_TIMEOUT_MS);
+
+            Bot[] all = new Bot[bots];
+            for (int i = 0; i < bots; i++) {
+                all[i] = new Bot("bot" + i, i, inFlight);
+                all[i].start();
+            }
+            Thread.sleep(loadSeconds * 1000L);
+            long before = acked.get();
+
+            killedAt = System.currentTimeMillis();
+            primary.destroyForcibly().waitFor();
+            String takeover = awaitLine(standbyOut, "Taking over as primary", RECONNECT_TIMEOUT_MS);
+
+            long deadline = killedAt + RECONNECT_TIMEOUT_MS;
+            for (Bot b : all) {
+                while (b.recoveredMs < 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+            }
+            long afterStart = acked.get();
+            Thread.sleep(3000);
+            long after = acked.get() - afterStart;
+            stop = true;
+
+            System.out.printf("bots: %d x %d bids in flight, load before kill: %.0f sealed bids/s " +
+                    "(plus a floor bid every %d)%n", bots, inFlight, before / (double) loadSeconds, FLOOR_EVERY);
+            for (String l : primaryOut) {
+                if (l.contains("Standby fell")) System.out.println("primary: " + strip(l));
+            }
+            for (String l : standbyOut) {
+                if (l.contains("Replication lag:") || l.contains("Following primary")) {
+                    System.out.println("standby: " + strip(l));
+                }
+            }
+            System.out.println("standby: " + strip(takeover));
+            long[] rec = new long[bots];
+            int recovered = 0;
+            for (Bot b : all) if (b.recoveredMs >= 0) rec[recovered++] = b.recoveredMs;
+            rec = Arrays.copyOf(rec, recovered);
+            Arrays.sort(rec);
+            if (recovered > 0) {
+                System.out.printf("client recovery, kill to first accepted bid (%d/%d bots): " +
+                                "min %d ms, median %d ms, max %d ms%n",
+                        recovered, bots, rec[0], rec[recovered / 2], rec[recovered - 1]);
+            } else {
+                System.out.println("no bot got a bid accepted within " + RECONNECT_TIMEOUT_MS + " ms");
+            }
+            System.out.printf("load on the new primary: %.0f sealed bids/s%n", after / 3.0);
+        } finally {
+            stop = true;
+            primary.destroyForcibly();
+            if (standby != null) standby.destroyForcibly();
+        }
+    }
+
+    /** Starts BidMaster in its own JVM on this classpath; stdout lines are collected into out. */
+    private static Process startServer(List<String> out, String... args) throws IOException {
+        List<String> cmd = new ArrayList<>(Arrays.asList(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"), "BidMaster"));
+        cmd.addAll(Arrays.asList(args));
+        Process p = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+                String line;
+                while ((line = in.readLine()) != null) out.add(line);
+            } catch (IOException ignored) {}
+        });
+        reader.setDaemon(true);
+        reader.start();
+        return p;
+    }
+
+    private static String awaitLine(List<String> out, String text, long timeoutMs) throws Exception {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            for (String l : out) if (l.contains(text)) return l;
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Timed out waiting for \"" + text + "\"; server output: " + out);
+    }
+
+    /** Drops the "[HH:mm:ss] " prefix of a server log line. */
+    private static String strip(String line) {
+        return line.startsWith("[") ? line.substring(line.indexOf(']') + 2) : line;
+    }
+
+    /**
+     * One bidder keeping up to `inFlight` sealed bids outstanding: the writer sends while the
+     * window has room and a reader thread frees a slot per SEALED_ACK. inFlight = 1 is a
+     * closed loop; a large window keeps the primary saturated. On a lost connection it
+     * reconnects like BidMaker (JOIN|name|RESUME) and records the time from the kill to its
+     * first accepted bid.
+     */
+    private static class Bot extends Thread {
+        private final String name;
+        private final Random rnd;
+        private final int inFlight;
+        volatile long recoveredMs = -1;
+
+        Bot(String name, long seed, int inFlight) {
+            super(name);
+            this.name = name;
+            this.rnd = new Random(seed);
+            this.inFlight = inFlight;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            boolean resume = false;
+            while (!stop) {
+                Socket s = connect();
+                if (s == null) return;
+                try {
+                    BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream()));
+                    PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(s.getOutputStream())));
+                    out.println("JOIN|" + name + (resume ? "|RESUME" : ""));
+                    out.println("SUBSCRIBE|" + FLOOR_LOT);
+                    out.flush();
+                    boolean reconnect = resume;
+                    resume = true;
+                    // JOIN is answered with SEALED_START for every open sealed lot
+                    waitFor(in, "SEALED_START|" + SEALED_LOT + "|");
+
+                    Semaphore window = new Semaphore(inFlight);
+                    Thread reader = new Thread(() -> readAcks(s, in, window, reconnect), name + "-acks");
+                    reader.setDaemon(true);
+                    reader.start();
+                    for (long round = 1; !stop && reader.isAlive(); round++) {
+                        if (!window.tryAcquire()) {
+                            out.flush(); // window full: push the batch, then wait for acks
+                            if (!window.tryAcquire(100, TimeUnit.MILLISECONDS)) { round--; continue; }
+                        }
+                        if (round % FLOOR_EVERY == 0) out.println("BID|" + name + "|" + floorBid.incrementAndGet());
+                        out.println("SEALED_BID|" + SEALED_LOT + "|" + (1 + rnd.nextInt(100_000) / 100.0) + "|1");
+                        if (out.checkError()) break;
+                    }
+                } catch (IOException | InterruptedException e) {
+                    // primary gone; reconnect below
+                } finally {
+                    try { s.close(); } catch (IOException ignored) {}
+                }
+            }
+        }
+
+        private void readAcks(Socket s, BufferedReader in, Semaphore window, boolean reconnect) {
+            try {
+                while (true) {
+                    waitFor(in, "SEALED_ACK|");
+                    acked.incrementAndGet();
+                    window.release();
+                    if (reconnect && recoveredMs < 0 && killedAt > 0) {
+                        recoveredMs = System.currentTimeMillis() - killedAt;
+                    }
+                }
+            } catch (IOException e) {
+                try { s.close(); } catch (IOException ignored) {} // wakes the writer
+            }
+        }
+
+        private Socket connect() {
+            long deadline = System.currentTimeMillis() + RECONNECT_TIMEOUT_MS;
+            while (!stop && System.currentTimeMillis() < deadline) {
+                try {
+                    Socket s = new Socket(InetAddress.getLoopbackAddress(), PORT);
+                    s.setTcpNoDelay(true);
+                    return s;
+                } catch (IOException e) {
+                    try { Thread.sleep(RECONNECT_RETRY_MS); } catch (InterruptedException ie) { return null; }
+                }
+            }
+            return null;
+        }
+
+        /** Reads until a line starts with prefix; other traffic (INFO, BID, TIME...) is skipped. */
+        private static void waitFor(BufferedReader in, String prefix) throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(prefix)) return;
+            }
+            throw new EOFException();
+        }
+    }
+}
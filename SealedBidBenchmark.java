@@ -0,0 +1,57 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Clearing-time benchmark for SealedBidLot (no GUI, no sockets).
+ * Run: javac SealedBidLot.java SealedBidBenchmark.java && java SealedBidBenchmark
+ */
+public class SealedBidBenchmark {
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final int RUNS = 7; // median of these, after one warm-up run
+
+    public static void main(String[] args) {
+        System.out.printf("%-13s %10s %12s %12s%n", "type", "bids", "submit ms", "clear ms");
+        for (SealedBidLot.Type type : SealedBidLot.Type.values()) {
+            for (int n : SIZES) {
+                run(type, n, new double[2]); // warm-up
+                double[] submit = new double[RUNS], clear = new double[RUNS];
+                for (int r = 0; r < RUNS; r++) {
+                    double[] t = new double[2];
+                    run(type, n, t);
+                    submit[r] = t[0];
+                    clear[r] = t[1];
+                }
+                System.out.printf("%-13s %10d %12.2f %12.2f%n", type, n, median(submit), median(clear));
+            }
+        }
+    }
+
+    /** Fills one lot with n random bids; stores submit and clear time (ms) into out. */
+    private static void run(SealedBidLot.Type type, int n, double[] out) {
+        Random rnd = new Random(42);
+        // Single-unit lots take one bid per bidder; uniform lots get ~10 bids per bidder
+        int bidders = type == SealedBidLot.Type.UNIFORM ? Math.max(1, n / 10) : n;
+        String[] names = new String[bidders];
+        for (int i = 0; i < bidders; i++) names[i] = "bidder" + i;
+
+        SealedBidLot lot = new SealedBidLot("BENCH", "item", type, 1.0, n / 20, n);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            double price = 1.0 + rnd.nextInt(1_000_000) / 100.0;
+            String rejected = lot.submit(names[i % bidders], price, 1 + rnd.nextInt(5));
+            if (rejected != null) throw new IllegalStateException(rejected);
+        }
+        long t1 = System.nanoTime();
+        SealedBidLot.Clearing c = lot.close();
+        long t2 = System.nanoTime();
+        if (c.price <= 0) throw new IllegalStateException("no clearing price");
+        out[0] = (t1 - t0) / 1e6;
+        out[1] = (t2 - t1) / 1e6;
+    }
+
+    private static double median(double[] xs) {
+        double[] s = xs.clone();
+        Arrays.sort(s);
+        return s[s.length / 2];
+    }
+}
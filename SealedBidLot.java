@@ -0,0 +1,152 @@
+/**
+ * One sealed-bid lot: collects bids while open, then clears them in one pass.
+ * Bids are kept in flat arrays (no per-bid objects) so a lot can hold millions of them.
+ * FIRST_PRICE / SECOND_PRICE sell one unit; UNIFORM sells `units` at the lowest accepted price.
+ */
+class SealedBidLot {
+    enum Type { FIRST_PRICE, SECOND_PRICE, UNIFORM }
+
+    // Sort key = (priceCents << SEQ_BITS) | (SEQ_MASK - seq): higher price first, earlier bid wins ties
+    private static final int SEQ_BITS = 24;
+    private static final long SEQ_MASK = (1L << SEQ_BITS) - 1;
+    private static final long MAX_CENTS = (1L << (63 - SEQ_BITS)) - 1;
+
+    final String lotId;
+    final String item;
+    final Type type;
+    final double reserve;
+    final int units;
+    volatile long closeAt;  // epoch ms, set when the lot opens
+
+    private long[] keys;
+    private int[] qty;      // by seq
+    private int[] bidder;   // by seq, index into bidderNames
+    private int count = 0;
+    private boolean closed = false;
+
+    private final java.util.ArrayList<String> bidderNames = new java.util.ArrayList<>();
+    private final java.util.HashMap<String, Integer> bidderIndex = new java.util.HashMap<>();
+
+    SealedBidLot(String lotId, String item, Type type, double reserve, int units, int expectedBids) {
+        this.lotId = lotId;
+        this.item = item;
+        this.type = type;
+        this.reserve = reserve;
+        this.units = type == Type.UNIFORM ? Math.max(1, units) : 1;
+        int cap = Math.max(16, expectedBids);
+        keys = new long[cap];
+        qty = new int[cap];
+        bidder = new int[cap];
+    }
+
+    /** Units a bid for `requested` is recorded with: 1 on single-unit lots, at most `units` otherwise. */
+    int recordedQuantity(int requested) {
+        return type == Type.UNIFORM ? Math.min(requested, units) : 1;
+    }
+
+    /**
+     * Records a bid for recordedQuantity(quantity) units; returns null if accepted,
+     * otherwise the reason it was rejected.
+     */
+    synchronized String submit(String name, double price, int quantity) {
+        if (closed) return "Lot " + lotId + " is closed.";
+        if (!Double.isFinite(price)) return "Invalid bid amount.";
+        if (price < reserve) return "Bid must be at least reserve $" + reserve;
+        long cents = Math.round(price * 100);
+        if (cents < Math.round(reserve * 100)) return "Bid must be at least reserve $" + reserve; // after rounding
+        if (cents > MAX_CENTS) return "Bid too large.";
+        if (count > SEQ_MASK) return "Lot " + lotId + " is full.";
+        if (type != Type.UNIFORM) {
+            if (bidderIndex.containsKey(name)) return "You already placed a sealed bid on lot " + lotId;
+        } else if (quantity < 1) {
+            return "Quantity must be at least 1.";
+        }
+
+        Integer idx = bidderIndex.get(name);
+        if (idx == null) {
+            idx = bidderNames.size();
+            bidderNames.add(name);
+            bidderIndex.put(name, idx);
+        }
+        if (count == keys.length) {
+            int cap = keys.length * 2;
+            keys = java.util.Arrays.copyOf(keys, cap);
+            qty = java.util.Arrays.copyOf(qty, cap);
+            bidder = java.util.Arrays.copyOf(bidder, cap);
+        }
+        int seq = count++;
+        keys[seq] = (cents << SEQ_BITS) | (SEQ_MASK - seq);
+        qty[seq] = recordedQuantity(quantity);
+        bidder[seq] = idx;
+        return null;
+    }
+
+    synchronized int bidCount() { return count; }
+
+    /** Replays accepted bids in arrival order (used to snapshot the lot for a standby). */
+    synchronized void forEachBid(BidVisitor v) {
+        for (int seq = 0; seq < count; seq++) {
+            v.visit(seq, bidderNames.get(bidder[seq]), centsOf(keys[seq]) / 100.0, qty[seq]);
+        }
+    }
+
+    interface BidVisitor {
+        void visit(int index, String bidder, double price, int quantity);
+    }
+
+    /** Closes the lot to new bids and computes the allocation. */
+    synchronized Clearing close() {
+        closed = true;
+        Clearing c = new Clearing(bidderNames.toArray(new String[0]));
+        if (count == 0) return c;
+
+        if (type != Type.UNIFORM) {
+            // Single unit: only the top two keys matter, a linear scan is enough
+            long best = -1, second = -1;
+            for (int i = 0; i < count; i++) {
+                long k = keys[i];
+                if (k > best) { second = best; best = k; }
+                else if (k > second) second = k;
+            }
+            int winner = bidder[seqOf(best)];
+            c.won[winner] = 1;
+            if (type == Type.FIRST_PRICE) {
+                c.price = centsOf(best) / 100.0;
+            } else {
+                c.price = second < 0 ? reserve : Math.max(reserve, centsOf(second) / 100.0);
+            }
+            return c;
+        }
+
+        // Multi-unit: fill from the highest bid down; the marginal accepted bid sets the price
+        long[] sorted = java.util.Arrays.copyOf(keys, count);
+        java.util.Arrays.sort(sorted);
+        int left = units;
+        long marginal = 0;
+        for (int i = count - 1; i >= 0 && left > 0; i--) {
+            int seq = seqOf(sorted[i]);
+            int take = Math.min(left, qty[seq]);
+            c.won[bidder[seq]] += take;
+            left -= take;
+            marginal = centsOf(sorted[i]);
+        }
+        c.price = marginal / 100.0;
+        return c;
+    }
+
+    private static int seqOf(long key) { return (int) (SEQ_MASK - (key & SEQ_MASK)); }
+
+    private static long centsOf(long key) { return key >>> SEQ_BITS; }
+
+    /** Outcome of a closed lot: units won per bidder, all at one price per unit. */
+    static class Clearing {
+        final String[] bidders;
+        final int[] won;
+        double price = 0.0;
+
+        Clearing(String[] bidders) {
+            this.bidders = bidders;
+            this.won = new int[bidders.length];
+        }
+    }
+}